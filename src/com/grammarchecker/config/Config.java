@@ -36,4 +36,48 @@ public class Config {
     public static int getMaxTokens() {
         return Integer.parseInt(properties.getProperty("MAX_TOKENS", "4000"));
     }
+    
+    public static String getPromptVersion() {
+        return properties.getProperty("PROMPT_VERSION", "v1");
+    }
+    
+    public static String getOpenAIApiUrl() {
+        return properties.getProperty("OPENAI_API_URL", "https://api.openai.com/v1/chat/completions");
+    }
+    
+    public static String getTransportMode() {
+        return properties.getProperty("TRANSPORT", "http");
+    }
+    
+    public static String getTransportArchive() {
+        return properties.getProperty("TRANSPORT_ARCHIVE", "recordings");
+    }
+    
+    public static String getReplayLatency() {
+        return properties.getProperty("REPLAY_LATENCY", "fixed:0");
+    }
+    
+    public static String getReplayFailureLatency() {
+        return properties.getProperty("REPLAY_FAILURE_LATENCY", "fixed:20");
+    }
+    
+    public static double getReplayErrorRate() {
+        return Double.parseDouble(properties.getProperty("REPLAY_ERROR_RATE", "0"));
+    }
+    
+    public static double getReplayRateLimitRate() {
+        return Double.parseDouble(properties.getProperty("REPLAY_RATE_LIMIT_RATE", "0"));
+    }
+    
+    public static int getReplayRateLimitBurst() {
+        return Integer.parseInt(properties.getProperty("REPLAY_RATE_LIMIT_BURST", "5"));
+    }
+    
+    public static boolean getReplayMatchAny() {
+        return Boolean.parseBoolean(properties.getProperty("REPLAY_MATCH_ANY", "false"));
+    }
+    
+    public static long getReplaySeed() {
+        return Long.parseLong(properties.getProperty("REPLAY_SEED", "42"));
+    }
 }
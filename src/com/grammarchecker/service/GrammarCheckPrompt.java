@@ -0,0 +1,87 @@
+package com.grammarchecker.service;
+
+import com.grammarchecker.config.Config;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Versioned prompt for grammar checking.
+ * The instructions go into a fixed system message and only the text to check changes
+ * between requests, so the provider can reuse its cached prompt prefix. The request body
+ * around the user text is encoded once and reused for every request.
+ */
+class GrammarCheckPrompt {
+    static final String DEFAULT_VERSION = "v1";
+
+    private static final String V1_INSTRUCTIONS =
+        "You are a grammar and writing assistant. Analyze the text in the user message and identify grammar errors, " +
+        "spelling mistakes, punctuation issues, and style improvements. " +
+        "For each issue found, provide:\n" +
+        "1. The original problematic text\n" +
+        "2. A suggested correction\n" +
+        "3. A brief explanation of the issue\n" +
+        "4. The approximate position (character index) in the text\n\n" +
+        "Format your response as a JSON array with objects containing: " +
+        "'original', 'suggestion', 'explanation', 'position'.";
+
+    private static final String V2_INSTRUCTIONS =
+        V1_INSTRUCTIONS + "\n" +
+        "Respond with the JSON array only, without any other text. " +
+        "If the text has no issues, respond with an empty array: [].";
+
+    private static final Map<String, String> SYSTEM_MESSAGES = Map.of(
+        "v1", V1_INSTRUCTIONS,
+        "v2", V2_INSTRUCTIONS
+    );
+
+    private final String version;
+    private final byte[] bodyPrefix;
+    private final byte[] bodySuffix;
+
+    private GrammarCheckPrompt(String version, String model, int maxTokens) {
+        this.version = version;
+
+        String prefix = "{\"model\":" + JSONObject.quote(model) +
+                        ",\"max_tokens\":" + maxTokens +
+                        ",\"messages\":[{\"role\":\"system\",\"content\":" + JSONObject.quote(SYSTEM_MESSAGES.get(version)) + "}" +
+                        ",{\"role\":\"user\",\"content\":";
+        this.bodyPrefix = prefix.getBytes(StandardCharsets.UTF_8);
+        this.bodySuffix = "}]}".getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Create the prompt selected by PROMPT_VERSION in the configuration.
+     * Falls back to the default version if the configured one is unknown.
+     */
+    static GrammarCheckPrompt fromConfig() {
+        String version = Config.getPromptVersion();
+        if (!SYSTEM_MESSAGES.containsKey(version)) {
+            System.err.println("Warning: unknown prompt version '" + version + "', using " + DEFAULT_VERSION);
+            version = DEFAULT_VERSION;
+        }
+        return new GrammarCheckPrompt(version, Config.getOpenAIModel(), Config.getMaxTokens());
+    }
+
+    /**
+     * @return The prompt version, used to keep request keys apart between versions
+     */
+    String getVersion() {
+        return version;
+    }
+
+    /**
+     * Build the chat completion request body for the text to check
+     * @param text The text to check
+     * @return UTF-8 encoded JSON request body
+     */
+    byte[] createRequestBody(String text) {
+        byte[] userContent = JSONObject.quote(text).getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[bodyPrefix.length + userContent.length + bodySuffix.length];
+        System.arraycopy(bodyPrefix, 0, body, 0, bodyPrefix.length);
+        System.arraycopy(userContent, 0, body, bodyPrefix.length, userContent.length);
+        System.arraycopy(bodySuffix, 0, body, bodyPrefix.length + userContent.length, bodySuffix.length);
+        return body;
+    }
+}
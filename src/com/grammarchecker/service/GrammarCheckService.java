@@ -2,53 +2,136 @@ package com.grammarchecker.service;
 
 import com.grammarchecker.config.Config;
 import com.grammarchecker.model.GrammarIssue;
+import com.grammarchecker.transport.ChatTransport;
+import com.grammarchecker.transport.TransportException;
+import com.grammarchecker.transport.TransportFactory;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Grammar checking service using OpenAI API
  * This service analyzes text and returns grammar suggestions without modifying the original
  */
 public class GrammarCheckService {
-    private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
+    private final ChatTransport transport;
+    private final GrammarCheckPrompt prompt = GrammarCheckPrompt.fromConfig();
+    private final SingleFlight<String, List<GrammarIssue>> inFlightChecks = new SingleFlight<>();
+    private final AtomicLong failedApiCallCount = new AtomicLong();
+    
+    /**
+     * Create a service using the transport selected in the configuration
+     */
+    public GrammarCheckService() {
+        this(TransportFactory.fromConfig());
+    }
+    
+    /**
+     * Create a service sending its requests through the given transport
+     * @param transport Backend for chat completion requests, e.g. a replay backend for load tests
+     */
+    public GrammarCheckService(ChatTransport transport) {
+        this.transport = transport;
+    }
     
     /**
      * Check grammar for the provided text
+     * Identical texts checked at the same time share a single API call. Line endings and
+     * Unicode composition are normalized before sending; positions are mapped back to the given text.
      * @param text The text to check
      * @return List of grammar issues found
      */
     public List<GrammarIssue> checkGrammar(String text) {
-        List<GrammarIssue> issues = new ArrayList<>();
-        
         if (text == null || text.trim().isEmpty()) {
-            return issues;
+            return new ArrayList<>();
         }
         
+        NormalizedText normalized = NormalizedText.of(text);
         try {
-            String apiKey = Config.getOpenAIApiKey();
-            if (apiKey.isEmpty()) {
-                throw new IllegalStateException("OpenAI API key not configured. Please set it in .env file");
+            List<GrammarIssue> shared = inFlightChecks.execute(createRequestKey(normalized.getText()),
+                    () -> runGrammarCheck(normalized.getText()));
+            // Every caller gets its own list, with positions pointing into its own text
+            List<GrammarIssue> issues = new ArrayList<>(shared.size());
+            for (GrammarIssue issue : shared) {
+                int start = normalized.toOriginalPosition(issue.getPosition());
+                int end = normalized.toOriginalPosition(issue.getPosition() + issue.getLength());
+                issues.add(new GrammarIssue(
+                    issue.getOriginalText(),
+                    issue.getSuggestion(),
+                    issue.getExplanation(),
+                    start,
+                    Math.max(0, end - start)
+                ));
             }
+            return issues;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error checking grammar: " + e.getCause().getMessage());
+            e.getCause().printStackTrace();
+        }
+        
+        return new ArrayList<>();
+    }
+    
+    /**
+     * @return Number of API calls made for grammar checks
+     */
+    public long getApiCallCount() {
+        return inFlightChecks.getExecutedCount();
+    }
+    
+    /**
+     * @return Number of API calls saved by sharing a check already in flight
+     */
+    public long getSavedApiCallCount() {
+        return inFlightChecks.getCoalescedCount();
+    }
+    
+    /**
+     * A failed call returns an empty list just like a check without issues,
+     * this count tells the two apart.
+     * @return Number of API calls that failed, including error statuses such as 429 and 500
+     */
+    public long getFailedApiCallCount() {
+        return failedApiCallCount.get();
+    }
+    
+    /**
+     * Build the key under which identical concurrent checks are shared.
+     * The text is already normalized, so the same text pasted from different
+     * sources still maps to one request.
+     */
+    private String createRequestKey(String normalizedText) {
+        return Config.getOpenAIModel() + '\u0000' + prompt.getVersion() + '\u0000' + normalizedText;
+    }
+    
+    private List<GrammarIssue> runGrammarCheck(String text) {
+        List<GrammarIssue> issues = new ArrayList<>();
+        
+        try {
+            // Create the request with the configured prompt version
+            byte[] requestBody = prompt.createRequestBody(text);
             
-            // Create the prompt for grammar checking
-            String prompt = createGrammarCheckPrompt(text);
-            
-            // Call OpenAI API
-            String response = callOpenAI(apiKey, prompt);
+            // Send through the configured transport
+            String response = transport.send(requestBody);
             
             // Parse response to extract grammar issues
             issues = parseGrammarIssues(response, text);
             
+        } catch (InterruptedException e) {
+            // Every caller waiting for this check has gone away
+            Thread.currentThread().interrupt();
+        } catch (TransportException e) {
+            // Error status from the backend, expected under load and in replay tests
+            failedApiCallCount.incrementAndGet();
+            System.err.println("Error checking grammar: " + e.getMessage());
         } catch (Exception e) {
+            failedApiCallCount.incrementAndGet();
             System.err.println("Error checking grammar: " + e.getMessage());
             e.printStackTrace();
         }
@@ -56,63 +139,6 @@ public class GrammarCheckService {
         return issues;
     }
     
-    private String createGrammarCheckPrompt(String text) {
-        return "You are a grammar and writing assistant. Analyze the following text and identify grammar errors, " +
-               "spelling mistakes, punctuation issues, and style improvements. " +
-               "For each issue found, provide:\n" +
-               "1. The original problematic text\n" +
-               "2. A suggested correction\n" +
-               "3. A brief explanation of the issue\n" +
-               "4. The approximate position (character index) in the text\n\n" +
-               "Format your response as a JSON array with objects containing: " +
-               "'original', 'suggestion', 'explanation', 'position'.\n\n" +
-               "Text to analyze:\n" + text;
-    }
-    
-    private String callOpenAI(String apiKey, String prompt) throws Exception {
-        URL url = new URL(OPENAI_API_URL);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod("POST");
-        conn.setRequestProperty("Content-Type", "application/json");
-        conn.setRequestProperty("Authorization", "Bearer " + apiKey);
-        conn.setDoOutput(true);
-        
-        // Create request body
-        JSONObject requestBody = new JSONObject();
-        requestBody.put("model", Config.getOpenAIModel());
-        requestBody.put("max_tokens", Config.getMaxTokens());
-        
-        JSONArray messages = new JSONArray();
-        JSONObject message = new JSONObject();
-        message.put("role", "user");
-        message.put("content", prompt);
-        messages.put(message);
-        requestBody.put("messages", messages);
-        
-        // Send request
-        try (OutputStream os = conn.getOutputStream()) {
-            byte[] input = requestBody.toString().getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
-        }
-        
-        // Read response
-        int responseCode = conn.getResponseCode();
-        if (responseCode != 200) {
-            throw new Exception("OpenAI API returned error code: " + responseCode);
-        }
-        
-        StringBuilder response = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(
-                new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
-            String responseLine;
-            while ((responseLine = br.readLine()) != null) {
-                response.append(responseLine.trim());
-            }
-        }
-        
-        return response.toString();
-    }
-    
     private List<GrammarIssue> parseGrammarIssues(String apiResponse, String originalText) {
         List<GrammarIssue> issues = new ArrayList<>();
         
@@ -0,0 +1,92 @@
+package com.grammarchecker.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/**
+ * Text with line endings and Unicode composition normalized, together with a map
+ * from positions in the normalized text back to positions in the original.
+ * Each base character is normalized together with the combining marks and conjoining jamo that follow it,
+ * so every normalized position maps to exactly one original position.
+ */
+class NormalizedText {
+    private final String text;
+    private final int[] originalPositions;
+
+    private NormalizedText(String text, int[] originalPositions) {
+        this.text = text;
+        this.originalPositions = originalPositions;
+    }
+
+    static NormalizedText of(String original) {
+        if (original.indexOf('\r') == -1 && Normalizer.isNormalized(original, Normalizer.Form.NFC)) {
+            return new NormalizedText(original, null);
+        }
+
+        StringBuilder text = new StringBuilder(original.length());
+        int[] positions = new int[original.length() + 1];
+        int i = 0;
+        while (i < original.length()) {
+            if (original.charAt(i) == '\r') {
+                positions = append(positions, text.length(), i, 1);
+                text.append('\n');
+                i += (i + 1 < original.length() && original.charAt(i + 1) == '\n') ? 2 : 1;
+                continue;
+            }
+
+            int end = i + Character.charCount(original.codePointAt(i));
+            while (end < original.length() && continuesSegment(original.codePointAt(end))) {
+                end += Character.charCount(original.codePointAt(end));
+            }
+
+            String segment = Normalizer.normalize(original.substring(i, end), Normalizer.Form.NFC);
+            positions = append(positions, text.length(), i, segment.length());
+            text.append(segment);
+            i = end;
+        }
+        positions = append(positions, text.length(), original.length(), 1);
+        return new NormalizedText(text.toString(), positions);
+    }
+
+    /**
+     * @return The normalized text
+     */
+    String getText() {
+        return text;
+    }
+
+    /**
+     * Map a position in the normalized text back to the original text
+     * @param position Position in the normalized text, clamped to its bounds
+     * @return The matching position in the original text
+     */
+    int toOriginalPosition(int position) {
+        if (originalPositions == null) {
+            return position;
+        }
+        int clamped = Math.max(0, Math.min(position, text.length()));
+        return originalPositions[clamped];
+    }
+
+    /**
+     * Combining marks and medial/final conjoining jamo compose with the character
+     * before them, so they must be normalized in the same segment
+     */
+    private static boolean continuesSegment(int codePoint) {
+        if ((codePoint >= 0x1160 && codePoint <= 0x11FF) || (codePoint >= 0xD7B0 && codePoint <= 0xD7FF)) {
+            return true;
+        }
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK
+            || type == Character.COMBINING_SPACING_MARK
+            || type == Character.ENCLOSING_MARK;
+    }
+
+    private static int[] append(int[] positions, int at, int originalPosition, int count) {
+        if (at + count > positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(positions.length * 2, at + count));
+        }
+        Arrays.fill(positions, at, at + count, originalPosition);
+        return positions;
+    }
+}
@@ -0,0 +1,128 @@
+package com.grammarchecker.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces identical concurrent calls so that only one of them does the work.
+ * Callers asking for a key that is already in flight wait on the same future instead
+ * of starting a new call. The shared call is cancelled only when every waiter has left.
+ */
+class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, Call> calls = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    SingleFlight() {
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "grammar-check-call");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Run the work for the given key, or join a call for the same key that is already running.
+     * If the calling thread is interrupted it stops waiting; the shared call keeps running
+     * as long as another caller is still waiting for it.
+     * @param key Identifies calls that can share one result
+     * @param work The work to run if no call for the key is in flight
+     * @return The result of the shared call
+     */
+    V execute(K key, Callable<V> work) throws InterruptedException, ExecutionException {
+        Call call;
+        boolean joined = false;
+        while (true) {
+            Call existing = calls.get(key);
+            if (existing != null) {
+                if (existing.join()) {
+                    call = existing;
+                    joined = true;
+                    break;
+                }
+                // The call is finishing or was just abandoned, start a fresh one
+                calls.remove(key, existing);
+                continue;
+            }
+
+            Call created = new Call(key, work);
+            if (calls.putIfAbsent(key, created) == null) {
+                executedCount.incrementAndGet();
+                executor.execute(created);
+                call = created;
+                break;
+            }
+        }
+
+        try {
+            V result = call.get();
+            if (joined) {
+                coalescedCount.incrementAndGet();
+            }
+            return result;
+        } catch (InterruptedException e) {
+            call.leave();
+            throw e;
+        }
+    }
+
+    /**
+     * @return Number of calls that actually ran
+     */
+    long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    /**
+     * @return Number of callers that received the result of a call already in flight
+     * instead of running their own; callers that stopped waiting are not counted
+     */
+    long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * A call in flight together with the number of callers still waiting for it
+     */
+    private class Call extends FutureTask<V> {
+        private final K key;
+        private int waiters = 1;
+        private boolean abandoned;
+
+        Call(K key, Callable<V> work) {
+            super(work);
+            this.key = key;
+        }
+
+        synchronized boolean join() {
+            if (abandoned || isDone()) {
+                return false;
+            }
+            waiters++;
+            return true;
+        }
+
+        void leave() {
+            synchronized (this) {
+                waiters--;
+                if (waiters > 0 || isDone()) {
+                    return;
+                }
+                abandoned = true;
+            }
+            calls.remove(key, this);
+            cancel(true);
+        }
+
+        @Override
+        protected void done() {
+            calls.remove(key, this);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.grammarchecker.transport;
+
+import java.io.IOException;
+
+/**
+ * Sends chat completion requests and returns the raw JSON response.
+ * Lets the grammar check service run against the OpenAI API, a recording or a replay backend.
+ */
+public interface ChatTransport {
+    /**
+     * Send a chat completion request
+     * @param requestBody UTF-8 encoded JSON request body
+     * @return The JSON response body
+     * @throws TransportException If the backend answered with an error status
+     */
+    String send(byte[] requestBody) throws IOException, InterruptedException;
+}
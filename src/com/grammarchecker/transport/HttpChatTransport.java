@@ -0,0 +1,60 @@
+package com.grammarchecker.transport;
+
+import com.grammarchecker.config.Config;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends requests to the OpenAI chat completions endpoint over HTTP
+ */
+public class HttpChatTransport implements ChatTransport {
+    private final String apiUrl;
+    
+    public HttpChatTransport(String apiUrl) {
+        this.apiUrl = apiUrl;
+    }
+    
+    @Override
+    public String send(byte[] requestBody) throws IOException {
+        String apiKey = Config.getOpenAIApiKey();
+        if (apiKey.isEmpty()) {
+            throw new IllegalStateException("OpenAI API key not configured. Please set it in .env file");
+        }
+        
+        URL url = new URL(apiUrl);
+        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+        conn.setRequestMethod("POST");
+        conn.setRequestProperty("Content-Type", "application/json");
+        conn.setRequestProperty("Authorization", "Bearer " + apiKey);
+        conn.setDoOutput(true);
+        conn.setFixedLengthStreamingMode(requestBody.length);
+        
+        // Send request
+        try (OutputStream os = conn.getOutputStream()) {
+            os.write(requestBody, 0, requestBody.length);
+        }
+        
+        // Read response
+        int responseCode = conn.getResponseCode();
+        if (responseCode != 200) {
+            throw new TransportException(responseCode);
+        }
+        
+        StringBuilder response = new StringBuilder();
+        try (BufferedReader br = new BufferedReader(
+                new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
+            String responseLine;
+            while ((responseLine = br.readLine()) != null) {
+                response.append(responseLine.trim());
+            }
+        }
+        
+        return response.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package com.grammarchecker.transport;
+
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Distribution of simulated response times in milliseconds.
+ * Parsed from a spec such as "fixed:200", "uniform:100:400", "normal:250:50" or "lognormal:250:0.5".
+ */
+public class LatencyDistribution {
+    private final ToDoubleFunction<Random> sampler;
+    
+    private LatencyDistribution(ToDoubleFunction<Random> sampler) {
+        this.sampler = sampler;
+    }
+    
+    /**
+     * Parse a latency spec
+     * @param spec One of fixed:MS, uniform:MIN:MAX, normal:MEAN:STDDEV or lognormal:MEDIAN:SIGMA
+     * @throws IllegalArgumentException If the spec is not valid
+     */
+    public static LatencyDistribution parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        try {
+            switch (parts[0]) {
+                case "fixed":
+                    if (parts.length == 2) {
+                        double millis = Double.parseDouble(parts[1]);
+                        return new LatencyDistribution(random -> millis);
+                    }
+                    break;
+                case "uniform":
+                    if (parts.length == 3) {
+                        double min = Double.parseDouble(parts[1]);
+                        double max = Double.parseDouble(parts[2]);
+                        return new LatencyDistribution(random -> min + random.nextDouble() * (max - min));
+                    }
+                    break;
+                case "normal":
+                    if (parts.length == 3) {
+                        double mean = Double.parseDouble(parts[1]);
+                        double stddev = Double.parseDouble(parts[2]);
+                        return new LatencyDistribution(random -> mean + random.nextGaussian() * stddev);
+                    }
+                    break;
+                case "lognormal":
+                    if (parts.length == 3) {
+                        double logMedian = Math.log(Double.parseDouble(parts[1]));
+                        double sigma = Double.parseDouble(parts[2]);
+                        return new LatencyDistribution(random -> Math.exp(logMedian + random.nextGaussian() * sigma));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid latency spec: " + spec, e);
+        }
+        throw new IllegalArgumentException("Invalid latency spec: " + spec);
+    }
+    
+    /**
+     * Draw a response time
+     * @param random Source of randomness supplied by the caller; ReplayTransport derives one per request
+     * @return Latency in milliseconds, never negative
+     */
+    public long sampleMillis(Random random) {
+        return Math.max(0, Math.round(sampler.applyAsDouble(random)));
+    }
+}
@@ -0,0 +1,24 @@
+package com.grammarchecker.transport;
+
+import java.io.IOException;
+
+/**
+ * Passes requests on to another transport and saves every successful
+ * request/response pair to an archive for later replay
+ */
+public class RecordingTransport implements ChatTransport {
+    private final ChatTransport delegate;
+    private final TransportArchive archive;
+    
+    public RecordingTransport(ChatTransport delegate, TransportArchive archive) {
+        this.delegate = delegate;
+        this.archive = archive;
+    }
+    
+    @Override
+    public String send(byte[] requestBody) throws IOException, InterruptedException {
+        String response = delegate.send(requestBody);
+        archive.append(requestBody, response);
+        return response;
+    }
+}
@@ -0,0 +1,116 @@
+package com.grammarchecker.transport;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves recorded responses from an archive without touching the network.
+ * Every request waits for a latency drawn from the configured distribution and can fail
+ * with a server error or a burst of 429 rate limit responses, so load tests see
+ * realistic timing and failures while staying offline. Failures come back after their own,
+ * usually much shorter, latency, as real rejections do.
+ * Latency, server errors and the start of each 429 burst are drawn from the seed, the request
+ * and how many times that request was seen before, so they repeat per request across runs
+ * regardless of thread scheduling. Which requests fall into the rest of a burst follows
+ * arrival order, so burst tails only repeat exactly in single-threaded runs.
+ */
+public class ReplayTransport implements ChatTransport {
+    private final TransportArchive archive;
+    private final LatencyDistribution latency;
+    private final LatencyDistribution failureLatency;
+    private final double errorRate;
+    private final double rateLimitRate;
+    private final int rateLimitBurstLength;
+    private final boolean matchAnyRequest;
+    private final long seed;
+    private final ConcurrentHashMap<String, Long> occurrences = new ConcurrentHashMap<>();
+
+    private int rateLimitedRemaining;
+
+    /**
+     * @param archive Recorded responses to serve
+     * @param latency Simulated response time of successful requests
+     * @param failureLatency Simulated response time of injected 429 and 500 responses
+     * @param errorRate Probability that a request fails with status 500
+     * @param rateLimitRate Probability that a request starts a burst of 429 responses
+     * @param rateLimitBurstLength Number of consecutive requests rejected with 429 in a burst
+     * @param matchAnyRequest Serve a recorded response even for requests that were not recorded
+     * @param seed Seed for latency and failure decisions, combined with each request
+     */
+    public ReplayTransport(TransportArchive archive, LatencyDistribution latency, LatencyDistribution failureLatency,
+                           double errorRate, double rateLimitRate, int rateLimitBurstLength,
+                           boolean matchAnyRequest, long seed) {
+        this.archive = archive;
+        this.latency = latency;
+        this.failureLatency = failureLatency;
+        this.errorRate = errorRate;
+        this.rateLimitRate = rateLimitRate;
+        this.rateLimitBurstLength = rateLimitBurstLength;
+        this.matchAnyRequest = matchAnyRequest;
+        this.seed = seed;
+    }
+
+    @Override
+    public String send(byte[] requestBody) throws IOException, InterruptedException {
+        String key = TransportArchive.keyOf(requestBody);
+        Random random = randomFor(key);
+        long delayMillis = latency.sampleMillis(random);
+        long failureDelayMillis = failureLatency.sampleMillis(random);
+        int statusCode = nextStatusCode(random);
+
+        if (statusCode != 200) {
+            Thread.sleep(failureDelayMillis);
+            throw new TransportException(statusCode);
+        }
+
+        Thread.sleep(delayMillis);
+
+        String response = archive.findResponse(key);
+        if (response == null && matchAnyRequest && archive.size() > 0) {
+            // Same request always gets the same stand-in response
+            response = archive.getResponse(Math.floorMod(key.hashCode(), archive.size()));
+        }
+        if (response == null) {
+            throw new IOException("No recorded response for request " + key);
+        }
+        return response;
+    }
+
+    /**
+     * Random source for one request, derived from the seed, the request key
+     * and how many times the same request was sent before
+     */
+    private Random randomFor(String key) {
+        long occurrence = occurrences.merge(key, 1L, Long::sum);
+        long keyBits = Long.parseUnsignedLong(key.substring(0, 16), 16);
+        return new Random(mix(seed ^ keyBits ^ (occurrence * 0x9E3779B97F4A7C15L)));
+    }
+
+    private int nextStatusCode(Random random) {
+        // Draw every value up front so each request uses the same number of draws
+        boolean startsBurst = rateLimitBurstLength > 0 && random.nextDouble() < rateLimitRate;
+        boolean failsWithError = random.nextDouble() < errorRate;
+
+        synchronized (this) {
+            if (rateLimitedRemaining > 0) {
+                rateLimitedRemaining--;
+                return 429;
+            }
+            if (startsBurst) {
+                rateLimitedRemaining = rateLimitBurstLength - 1;
+                return 429;
+            }
+        }
+        return failsWithError ? 500 : 200;
+    }
+
+    /**
+     * SplitMix64 finalizer, spreads nearby seeds over the whole range
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,186 @@
+package com.grammarchecker.transport;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-disk archive of recorded request/response pairs.
+ * Records are appended to records.dat as the request bytes followed by the response bytes.
+ * index.tsv holds one line per record: request key, offset, request length and response length.
+ * The index is loaded into memory on open, record bodies are read from disk when needed.
+ * Files are accessed through plain streams under the archive lock rather than a FileChannel,
+ * so an interrupted caller cannot close the archive for everyone else.
+ */
+public class TransportArchive implements Closeable {
+    private static final String RECORDS_FILE = "records.dat";
+    private static final String INDEX_FILE = "index.tsv";
+
+    private final RandomAccessFile records;
+    private final BufferedWriter index;
+    private final Map<String, Entry> entriesByKey = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+
+    private TransportArchive(RandomAccessFile records, BufferedWriter index) {
+        this.records = records;
+        this.index = index;
+    }
+
+    /**
+     * Open an archive for recording, creating the directory if needed.
+     * New records are added after the ones already in the archive.
+     * @param directory The archive directory
+     */
+    public static TransportArchive openForRecording(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        RandomAccessFile records = new RandomAccessFile(directory.resolve(RECORDS_FILE).toFile(), "rw");
+        BufferedWriter index = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(directory.resolve(INDEX_FILE).toFile(), true), StandardCharsets.UTF_8));
+        TransportArchive archive = new TransportArchive(records, index);
+        archive.loadIndex(directory.resolve(INDEX_FILE));
+        return archive;
+    }
+
+    /**
+     * Open an existing archive for replay
+     * @param directory The archive directory
+     */
+    public static TransportArchive openForReplay(Path directory) throws IOException {
+        RandomAccessFile records = new RandomAccessFile(directory.resolve(RECORDS_FILE).toFile(), "r");
+        TransportArchive archive = new TransportArchive(records, null);
+        archive.loadIndex(directory.resolve(INDEX_FILE));
+        return archive;
+    }
+
+    /**
+     * Compute the key under which a request is stored
+     * @param requestBody The request body
+     * @return Hex encoded SHA-256 hash of the request body
+     */
+    public static String keyOf(byte[] requestBody) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(requestBody);
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Append a request/response pair to the archive
+     */
+    public synchronized void append(byte[] requestBody, String response) throws IOException {
+        if (index == null) {
+            throw new IllegalStateException("Archive was opened for replay");
+        }
+
+        byte[] responseBytes = response.getBytes(StandardCharsets.UTF_8);
+        long offset = records.length();
+        records.seek(offset);
+        records.write(requestBody);
+        records.write(responseBytes);
+
+        Entry entry = new Entry(keyOf(requestBody), offset, requestBody.length, responseBytes.length);
+        index.write(entry.key + "\t" + entry.offset + "\t" + entry.requestLength + "\t" + entry.responseLength);
+        index.newLine();
+        index.flush();
+        addEntry(entry);
+    }
+
+    /**
+     * Find the recorded response for a request
+     * @param key The request key, see {@link #keyOf(byte[])}
+     * @return The response, or null if the request was not recorded
+     */
+    public synchronized String findResponse(String key) throws IOException {
+        Entry entry = entriesByKey.get(key);
+        return entry == null ? null : readResponse(entry);
+    }
+
+    /**
+     * Get a recorded response by its position in the archive
+     * @param position Index between 0 and {@link #size()}
+     */
+    public synchronized String getResponse(int position) throws IOException {
+        return readResponse(entries.get(position));
+    }
+
+    /**
+     * @return Number of records in the archive
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (index != null) {
+            index.close();
+        }
+        records.close();
+    }
+
+    private String readResponse(Entry entry) throws IOException {
+        byte[] response = new byte[entry.responseLength];
+        records.seek(entry.offset + entry.requestLength);
+        try {
+            records.readFully(response);
+        } catch (EOFException e) {
+            throw new IOException("Archive record truncated at offset " + entry.offset, e);
+        }
+        return new String(response, StandardCharsets.UTF_8);
+    }
+
+    private void loadIndex(Path indexFile) throws IOException {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split("\t");
+            if (fields.length != 4) {
+                throw new IOException("Malformed archive index line: " + line);
+            }
+            addEntry(new Entry(fields[0], Long.parseLong(fields[1]),
+                    Integer.parseInt(fields[2]), Integer.parseInt(fields[3])));
+        }
+    }
+
+    private void addEntry(Entry entry) {
+        entries.add(entry);
+        entriesByKey.put(entry.key, entry);
+    }
+
+    /**
+     * Location of one record in records.dat
+     */
+    private static class Entry {
+        final String key;
+        final long offset;
+        final int requestLength;
+        final int responseLength;
+
+        Entry(String key, long offset, int requestLength, int responseLength) {
+            this.key = key;
+            this.offset = offset;
+            this.requestLength = requestLength;
+            this.responseLength = responseLength;
+        }
+    }
+}
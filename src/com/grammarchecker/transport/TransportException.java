@@ -0,0 +1,21 @@
+package com.grammarchecker.transport;
+
+import java.io.IOException;
+
+/**
+ * Thrown when the chat completion backend answers with an error status
+ */
+public class TransportException extends IOException {
+    private static final long serialVersionUID = 1L;
+    
+    private final int statusCode;
+    
+    public TransportException(int statusCode) {
+        super("OpenAI API returned error code: " + statusCode);
+        this.statusCode = statusCode;
+    }
+    
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
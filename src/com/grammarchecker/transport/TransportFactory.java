@@ -0,0 +1,50 @@
+package com.grammarchecker.transport;
+
+import com.grammarchecker.config.Config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Creates the chat transport selected by TRANSPORT in the configuration
+ */
+public class TransportFactory {
+    
+    private TransportFactory() {
+    }
+    
+    /**
+     * Create the configured transport: "http" (default), "record" or "replay"
+     * @throws IllegalStateException If the transport cannot be created
+     */
+    public static ChatTransport fromConfig() {
+        String mode = Config.getTransportMode();
+        Path archiveDir = Paths.get(Config.getTransportArchive());
+        
+        try {
+            switch (mode) {
+                case "http":
+                    return new HttpChatTransport(Config.getOpenAIApiUrl());
+                case "record":
+                    return new RecordingTransport(
+                        new HttpChatTransport(Config.getOpenAIApiUrl()),
+                        TransportArchive.openForRecording(archiveDir));
+                case "replay":
+                    return new ReplayTransport(
+                        TransportArchive.openForReplay(archiveDir),
+                        LatencyDistribution.parse(Config.getReplayLatency()),
+                        LatencyDistribution.parse(Config.getReplayFailureLatency()),
+                        Config.getReplayErrorRate(),
+                        Config.getReplayRateLimitRate(),
+                        Config.getReplayRateLimitBurst(),
+                        Config.getReplayMatchAny(),
+                        Config.getReplaySeed());
+                default:
+                    throw new IllegalStateException("Unknown TRANSPORT '" + mode + "', expected http, record or replay");
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open transport archive " + archiveDir + ": " + e.getMessage(), e);
+        }
+    }
+}